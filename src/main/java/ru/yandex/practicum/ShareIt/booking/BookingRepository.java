@@ -0,0 +1,13 @@
+package ru.yandex.practicum.ShareIt.booking;
+
+import java.time.LocalDateTime;
+
+public interface BookingRepository {
+    Booking addBooking(Booking booking);
+
+    Booking updateBooking(Booking booking);
+
+    Booking getBooking(Long bookingId);
+
+    boolean isItemBooked(Long itemId, LocalDateTime start, LocalDateTime end);
+}
@@ -0,0 +1,135 @@
+package ru.yandex.practicum.ShareIt.booking;
+
+import org.springframework.stereotype.Repository;
+import ru.yandex.practicum.ShareIt.exception.EntityNotFoundException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Repository
+public class BookingRepositoryImpl implements BookingRepository {
+    private static final Set<Status> BLOCKING_STATUSES = EnumSet.of(Status.WAITING, Status.APPROVED);
+
+    private final Map<Long, Booking> bookingIdToBooking = new HashMap<>();
+    private final Map<Long, BookedIntervals> itemIdToIntervals = new HashMap<>();
+    private final Map<Long, Interval> bookingIdToInterval = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Long id = 1L;
+
+    @Override
+    public Booking addBooking(Booking booking) {
+        lock.writeLock().lock();
+        try {
+            booking.setId(generateId());
+            bookingIdToBooking.put(booking.getId(), booking);
+            index(booking);
+            return booking;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Booking updateBooking(Booking booking) {
+        lock.writeLock().lock();
+        try {
+            getBooking(booking.getId());
+            unindex(booking.getId());
+            bookingIdToBooking.put(booking.getId(), booking);
+            index(booking);
+            return booking;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Booking getBooking(Long bookingId) {
+        lock.readLock().lock();
+        try {
+            if (!bookingIdToBooking.containsKey(bookingId)) {
+                throw new EntityNotFoundException("Бронирование не найдено!");
+            }
+            return bookingIdToBooking.get(bookingId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isItemBooked(Long itemId, LocalDateTime start, LocalDateTime end) {
+        lock.readLock().lock();
+        try {
+            BookedIntervals intervals = itemIdToIntervals.get(itemId);
+            if (intervals == null) {
+                return false;
+            }
+            return intervals.byStart.subMap(start.minus(intervals.longest), true, end, false).values().stream()
+                    .flatMap(List::stream)
+                    .anyMatch(interval -> interval.end.isAfter(start));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(Booking booking) {
+        if (!BLOCKING_STATUSES.contains(booking.getStatus())) {
+            return;
+        }
+        Interval interval = new Interval(booking.getId(), booking.getItem().getId(),
+                booking.getStart(), booking.getEnd());
+        bookingIdToInterval.put(interval.bookingId, interval);
+        BookedIntervals intervals = itemIdToIntervals.computeIfAbsent(interval.itemId, itemId -> new BookedIntervals());
+        intervals.byStart.computeIfAbsent(interval.start, start -> new ArrayList<>()).add(interval);
+        Duration duration = Duration.between(interval.start, interval.end);
+        if (duration.compareTo(intervals.longest) > 0) {
+            intervals.longest = duration;
+        }
+    }
+
+    private void unindex(Long bookingId) {
+        Interval interval = bookingIdToInterval.remove(bookingId);
+        if (interval == null) {
+            return;
+        }
+        BookedIntervals intervals = itemIdToIntervals.get(interval.itemId);
+        List<Interval> sameStart = intervals.byStart.get(interval.start);
+        sameStart.remove(interval);
+        if (sameStart.isEmpty()) {
+            intervals.byStart.remove(interval.start);
+        }
+    }
+
+    private Long generateId() {
+        return id++;
+    }
+
+    private static class BookedIntervals {
+        private final NavigableMap<LocalDateTime, List<Interval>> byStart = new TreeMap<>();
+        private Duration longest = Duration.ZERO;
+    }
+
+    private static class Interval {
+        private final Long bookingId;
+        private final Long itemId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        private Interval(Long bookingId, Long itemId, LocalDateTime start, LocalDateTime end) {
+            this.bookingId = bookingId;
+            this.itemId = itemId;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
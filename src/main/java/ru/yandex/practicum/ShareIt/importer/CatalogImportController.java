@@ -0,0 +1,21 @@
+package ru.yandex.practicum.ShareIt.importer;
+
+import static ru.yandex.practicum.ShareIt.constants.Constants.USER_ID;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(path = "/import")
+@RequiredArgsConstructor
+public class CatalogImportController {
+    private final CatalogImportService importService;
+
+    @GetMapping("/progress")
+    public ImportProgress getProgress(@RequestHeader(USER_ID) Long userId) {
+        return importService.getProgress();
+    }
+}
@@ -0,0 +1,31 @@
+package ru.yandex.practicum.ShareIt.importer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@Component
+@RequiredArgsConstructor
+public class CatalogImportRunner implements ApplicationRunner {
+    private final CatalogImportService importService;
+
+    @Value("${shareit.import.file:}")
+    private String importFile;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (importFile.isBlank()) {
+            return;
+        }
+        try (InputStream input = Files.newInputStream(Path.of(importFile))) {
+            importService.importCatalog(input);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package ru.yandex.practicum.ShareIt.importer;
+
+import java.io.InputStream;
+
+public interface CatalogImportService {
+    ImportProgress importCatalog(InputStream input);
+
+    ImportProgress getProgress();
+}
@@ -0,0 +1,289 @@
+package ru.yandex.practicum.ShareIt.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import ru.yandex.practicum.ShareIt.exception.EntityNotFoundException;
+import ru.yandex.practicum.ShareIt.exception.EntityValidationException;
+import ru.yandex.practicum.ShareIt.item.Item;
+import ru.yandex.practicum.ShareIt.item.ItemRepository;
+import ru.yandex.practicum.ShareIt.user.User;
+import ru.yandex.practicum.ShareIt.user.UserDto;
+import ru.yandex.practicum.ShareIt.user.UserRepository;
+
+import javax.validation.ValidationException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Потоковый импорт пользователей и вещей из NDJSON.
+ * Строки читаются пачками, разбираются параллельно и загружаются в репозитории в исходном порядке.
+ * Число пачек в работе ограничено, поэтому расход памяти не зависит от числа вещей в файле;
+ * для пользователей из файла хранится только соответствие идентификаторов.
+ * Владелец вещи задаётся либо ownerId — идентификатором пользователя из этого же файла,
+ * либо ownerUserId — идентификатором уже существующего пользователя; вещи с неизвестным владельцем отклоняются.
+ * Индексы вещей строятся один раз после загрузки, в том числе если импорт прервался на середине.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogImportServiceImpl implements CatalogImportService {
+    private static final int BATCH_SIZE = 1000;
+    private static final int PARSER_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int MAX_BATCHES_IN_FLIGHT = 2 * PARSER_THREADS;
+    private static final long LOADER_SHUTDOWN_TIMEOUT_SECONDS = 60L;
+    private static final long NOT_IMPORTED = -1L;
+    private static final CompletableFuture<List<ImportRecord>> END_OF_INPUT =
+            CompletableFuture.completedFuture(List.of());
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong linesRead = new AtomicLong();
+    private final AtomicLong usersLoaded = new AtomicLong();
+    private final AtomicLong itemsLoaded = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile ImportState state = ImportState.IDLE;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+
+    @Override
+    public ImportProgress importCatalog(InputStream input) {
+        if (!running.compareAndSet(false, true)) {
+            throw new EntityValidationException("Импорт уже выполняется!");
+        }
+        reset();
+        ExecutorService parsers = Executors.newFixedThreadPool(PARSER_THREADS);
+        ExecutorService loader = Executors.newSingleThreadExecutor();
+        BlockingQueue<CompletableFuture<List<ImportRecord>>> batches = new ArrayBlockingQueue<>(MAX_BATCHES_IN_FLIGHT);
+        boolean indexed = false;
+        try {
+            Future<?> loading = loader.submit(() -> {
+                load(batches);
+                return null;
+            });
+            read(input, batches, parsers, loading);
+            loading.get();
+            state = ImportState.INDEXING;
+            itemRepository.rebuildIndexes();
+            indexed = true;
+            state = ImportState.FINISHED;
+        } catch (IOException | ExecutionException e) {
+            state = ImportState.FAILED;
+            log.error("Импорт каталога завершился с ошибкой после {} строк", linesRead.get(), e);
+            throw new EntityValidationException("Не удалось импортировать каталог!", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state = ImportState.FAILED;
+            log.error("Импорт каталога прерван после {} строк", linesRead.get(), e);
+            throw new EntityValidationException("Импорт прерван!", e);
+        } finally {
+            parsers.shutdownNow();
+            loader.shutdownNow();
+            if (!indexed) {
+                indexPartialLoad(loader);
+            }
+            finishedAt = System.currentTimeMillis();
+            running.set(false);
+        }
+        return getProgress();
+    }
+
+    @Override
+    public ImportProgress getProgress() {
+        long end = state == ImportState.LOADING || state == ImportState.INDEXING
+                ? System.currentTimeMillis()
+                : finishedAt;
+        long elapsed = state == ImportState.IDLE ? 0L : Math.max(end - startedAt, 0L);
+        long loaded = usersLoaded.get() + itemsLoaded.get();
+        return ImportProgress.builder()
+                .state(state)
+                .linesRead(linesRead.get())
+                .usersLoaded(usersLoaded.get())
+                .itemsLoaded(itemsLoaded.get())
+                .rejected(rejected.get())
+                .elapsedMillis(elapsed)
+                .recordsPerSecond(loaded * 1000 / Math.max(elapsed, 1L))
+                .build();
+    }
+
+    private void indexPartialLoad(ExecutorService loader) {
+        try {
+            if (!loader.awaitTermination(LOADER_SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.error("Загрузчик импорта не остановился, индексы вещей не перестроены");
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (itemsLoaded.get() > 0) {
+            itemRepository.rebuildIndexes();
+        }
+    }
+
+    private void reset() {
+        linesRead.set(0);
+        usersLoaded.set(0);
+        itemsLoaded.set(0);
+        rejected.set(0);
+        startedAt = System.currentTimeMillis();
+        state = ImportState.LOADING;
+    }
+
+    private void read(InputStream input,
+                      BlockingQueue<CompletableFuture<List<ImportRecord>>> batches,
+                      ExecutorService parsers,
+                      Future<?> loading) throws IOException, InterruptedException, ExecutionException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            List<String> lines = new ArrayList<>(BATCH_SIZE);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                linesRead.incrementAndGet();
+                if (line.isBlank()) {
+                    continue;
+                }
+                lines.add(line);
+                if (lines.size() == BATCH_SIZE) {
+                    enqueue(batches, parse(lines, parsers), loading);
+                    lines = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+            if (!lines.isEmpty()) {
+                enqueue(batches, parse(lines, parsers), loading);
+            }
+            enqueue(batches, END_OF_INPUT, loading);
+        }
+    }
+
+    private void enqueue(BlockingQueue<CompletableFuture<List<ImportRecord>>> batches,
+                         CompletableFuture<List<ImportRecord>> batch,
+                         Future<?> loading) throws InterruptedException, ExecutionException {
+        while (!batches.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+            if (loading.isDone()) {
+                loading.get();
+                return;
+            }
+        }
+    }
+
+    private CompletableFuture<List<ImportRecord>> parse(List<String> lines, ExecutorService parsers) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<ImportRecord> records = new ArrayList<>(lines.size());
+            for (String line : lines) {
+                try {
+                    ImportRecord record = objectMapper.readValue(line, ImportRecord.class);
+                    if (isValid(record)) {
+                        records.add(record);
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                } catch (JsonProcessingException e) {
+                    rejected.incrementAndGet();
+                }
+            }
+            return records;
+        }, parsers);
+    }
+
+    private boolean isValid(ImportRecord record) {
+        if (record.getType() == null || record.getName() == null || record.getName().isBlank()) {
+            return false;
+        }
+        if (record.getType() == ImportRecordType.USER) {
+            return record.getEmail() != null && !record.getEmail().isBlank();
+        }
+        return record.getDescription() != null && !record.getDescription().isBlank()
+                && record.getAvailable() != null
+                && (record.getOwnerId() == null) != (record.getOwnerUserId() == null);
+    }
+
+    private void load(BlockingQueue<CompletableFuture<List<ImportRecord>>> batches)
+            throws InterruptedException, ExecutionException {
+        ImportedUserIds importedUsers = new ImportedUserIds();
+        List<Item> items = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            CompletableFuture<List<ImportRecord>> batch = batches.take();
+            if (batch == END_OF_INPUT) {
+                break;
+            }
+            for (ImportRecord record : batch.get()) {
+                if (record.getType() == ImportRecordType.USER) {
+                    loadUser(record, importedUsers);
+                    continue;
+                }
+                User owner = resolveOwner(record, importedUsers);
+                if (owner == null) {
+                    rejected.incrementAndGet();
+                    continue;
+                }
+                items.add(Item.builder()
+                        .name(record.getName())
+                        .description(record.getDescription())
+                        .owner(owner)
+                        .isAvailable(record.getAvailable())
+                        .build());
+            }
+            if (items.size() >= BATCH_SIZE) {
+                flush(items);
+            }
+        }
+        flush(items);
+    }
+
+    private void loadUser(ImportRecord record, ImportedUserIds importedUsers) {
+        try {
+            User user = userRepository.addUser(UserDto.builder()
+                    .name(record.getName())
+                    .email(record.getEmail())
+                    .build());
+            if (record.getId() != null) {
+                importedUsers.put(record.getId(), user.getId());
+            }
+            usersLoaded.incrementAndGet();
+        } catch (ValidationException e) {
+            rejected.incrementAndGet();
+        }
+    }
+
+    private User resolveOwner(ImportRecord record, ImportedUserIds importedUsers) {
+        long ownerUserId = record.getOwnerUserId() != null
+                ? record.getOwnerUserId()
+                : importedUsers.getOrDefault(record.getOwnerId(), NOT_IMPORTED);
+        if (ownerUserId == NOT_IMPORTED) {
+            return null;
+        }
+        try {
+            return userRepository.getUserById(ownerUserId);
+        } catch (EntityNotFoundException e) {
+            return null;
+        }
+    }
+
+    private void flush(List<Item> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        itemRepository.addItems(items);
+        itemsLoaded.addAndGet(items.size());
+        items.clear();
+    }
+}
@@ -0,0 +1,16 @@
+package ru.yandex.practicum.ShareIt.importer;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ImportProgress {
+    private ImportState state;
+    private Long linesRead;
+    private Long usersLoaded;
+    private Long itemsLoaded;
+    private Long rejected;
+    private Long elapsedMillis;
+    private Long recordsPerSecond;
+}
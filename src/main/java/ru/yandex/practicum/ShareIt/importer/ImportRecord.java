@@ -0,0 +1,17 @@
+package ru.yandex.practicum.ShareIt.importer;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ImportRecord {
+    private ImportRecordType type;
+    private Long id;
+    private String name;
+    private String email;
+    private String description;
+    private Boolean available;
+    private Long ownerId;
+    private Long ownerUserId;
+}
@@ -0,0 +1,10 @@
+package ru.yandex.practicum.ShareIt.importer;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public enum ImportRecordType {
+    @JsonProperty("user")
+    USER,
+    @JsonProperty("item")
+    ITEM
+}
@@ -0,0 +1,9 @@
+package ru.yandex.practicum.ShareIt.importer;
+
+public enum ImportState {
+    IDLE,
+    LOADING,
+    INDEXING,
+    FINISHED,
+    FAILED
+}
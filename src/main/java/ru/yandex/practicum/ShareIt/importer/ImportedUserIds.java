@@ -0,0 +1,62 @@
+package ru.yandex.practicum.ShareIt.importer;
+
+import java.util.Arrays;
+
+/**
+ * Соответствие идентификаторов пользователей из файла идентификаторам в репозитории
+ * на примитивных массивах: 32 байта на пользователя вместо объектов-ключей и ссылок на User.
+ */
+class ImportedUserIds {
+    private static final int INITIAL_CAPACITY = 1 << 10;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys = newKeys(INITIAL_CAPACITY);
+    private long[] values = new long[INITIAL_CAPACITY];
+    private int size;
+
+    void put(long fileId, long userId) {
+        int slot = find(keys, fileId);
+        if (keys[slot] == EMPTY) {
+            size++;
+        }
+        keys[slot] = fileId;
+        values[slot] = userId;
+        if (size * 2 > keys.length) {
+            resize();
+        }
+    }
+
+    long getOrDefault(long fileId, long defaultUserId) {
+        int slot = find(keys, fileId);
+        return keys[slot] == EMPTY ? defaultUserId : values[slot];
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = newKeys(oldKeys.length * 2);
+        values = new long[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = find(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int find(long[] keys, long key) {
+        int mask = keys.length - 1;
+        int slot = (int) ((key ^ (key >>> 32)) * 0x9E3779B97F4A7C15L >>> 40) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static long[] newKeys(int capacity) {
+        long[] keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        return keys;
+    }
+}
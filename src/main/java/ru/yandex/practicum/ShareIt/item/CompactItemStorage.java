@@ -0,0 +1,289 @@
+package ru.yandex.practicum.ShareIt.item;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.ShareIt.user.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
+
+/**
+ * Компактное хранилище вещей: тексты лежат в {@link ItemTextArena}, остальные поля — в массивах,
+ * индексированных идентификатором вещи. Объекты {@link Item} создаются только для вещей, попавших в ответ:
+ * поиск идёт по байтам названий и описаний в арене без отдельной копии текста для поиска.
+ * Вещи владельца связаны в список через массив nextByOwner, сами владельцы пронумерованы,
+ * так что индекс по владельцу — это два int на вещь и по одному объекту User на владельца.
+ * Когда заменённые тексты занимают в арене больше места, чем живые, арена пересобирается.
+ * Массивы и арена защищены одной блокировкой чтения-записи.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.items.storage", havingValue = "compact")
+public class CompactItemStorage implements ItemStorage {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NONE = -1;
+    private static final long NO_OWNER = Long.MIN_VALUE;
+    private static final byte ABSENT = 0;
+    private static final byte AVAILABLE_UNKNOWN = 1;
+    private static final byte UNAVAILABLE = 2;
+    private static final byte AVAILABLE = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private ItemTextArena arena = new ItemTextArena();
+    private long[] names = new long[INITIAL_CAPACITY];
+    private long[] descriptions = new long[INITIAL_CAPACITY];
+    private int[] ownerSlots = new int[INITIAL_CAPACITY];
+    private int[] nextByOwner = new int[INITIAL_CAPACITY];
+    private byte[] availability = new byte[INITIAL_CAPACITY];
+    private int maxIndex = -1;
+
+    private User[] owners = new User[INITIAL_CAPACITY];
+    private int[] firstByOwner = new int[INITIAL_CAPACITY];
+    private int ownerCount;
+    private long[] ownerIdKeys = newOwnerIdKeys(INITIAL_CAPACITY);
+    private int[] ownerIdSlots = new int[INITIAL_CAPACITY];
+
+    @Override
+    public void put(Item item) {
+        lock.writeLock().lock();
+        try {
+            store(item);
+            if (arena.needsCompaction()) {
+                compactArena();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void putAll(List<Item> items) {
+        lock.writeLock().lock();
+        try {
+            items.forEach(this::store);
+            if (arena.needsCompaction()) {
+                compactArena();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Item get(Long itemId) {
+        lock.readLock().lock();
+        try {
+            return isStored(itemId) ? materialize((int) (long) itemId) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(Long itemId) {
+        lock.readLock().lock();
+        try {
+            return isStored(itemId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Stream<Item> findAvailableByText(String lowerText, LongPredicate itemIdFilter) {
+        int[] needle = ItemTextArena.toLowerCodePoints(lowerText);
+        List<Item> found = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int index = 0; index <= maxIndex; index++) {
+                if (availability[index] == AVAILABLE
+                        && (arena.containsIgnoreCase(names[index], needle)
+                        || arena.containsIgnoreCase(descriptions[index], needle))
+                        && itemIdFilter.test(index)) {
+                    found.add(materialize(index));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return found.stream();
+    }
+
+    @Override
+    public List<Item> findByOwner(Long ownerId) {
+        List<Item> found = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            int slot = ownerSlotOf(ownerId);
+            for (int index = slot == NONE ? NONE : firstByOwner[slot]; index != NONE; index = nextByOwner[index]) {
+                found.add(materialize(index));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Collections.reverse(found);
+        return found;
+    }
+
+    @Override
+    public Stream<String> availableNames() {
+        List<String> found = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int index = 0; index <= maxIndex; index++) {
+                if (availability[index] == AVAILABLE) {
+                    found.add(arena.get(names[index]));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return found.stream();
+    }
+
+    private void store(Item item) {
+        int index = Math.toIntExact(item.getId());
+        ensureCapacity(index);
+        long name = arena.put(item.getName());
+        long description = arena.put(item.getDescription());
+        int ownerSlot = ownerSlot(item.getOwner());
+        if (availability[index] != ABSENT) {
+            arena.release(names[index]);
+            arena.release(descriptions[index]);
+            if (ownerSlots[index] != ownerSlot) {
+                unlinkFromOwner(index);
+                linkToOwner(index, ownerSlot);
+            }
+        } else {
+            linkToOwner(index, ownerSlot);
+        }
+        names[index] = name;
+        descriptions[index] = description;
+        availability[index] = item.getIsAvailable() == null
+                ? AVAILABLE_UNKNOWN
+                : item.getIsAvailable() ? AVAILABLE : UNAVAILABLE;
+        if (index > maxIndex) {
+            maxIndex = index;
+        }
+    }
+
+    private boolean isStored(Long itemId) {
+        return itemId != null && itemId >= 0 && itemId <= maxIndex && availability[(int) (long) itemId] != ABSENT;
+    }
+
+    private Item materialize(int index) {
+        return Item.builder()
+                .id((long) index)
+                .name(arena.get(names[index]))
+                .description(arena.get(descriptions[index]))
+                .owner(owners[ownerSlots[index]])
+                .isAvailable(availability[index] == AVAILABLE_UNKNOWN ? null : availability[index] == AVAILABLE)
+                .build();
+    }
+
+    private void compactArena() {
+        ItemTextArena compacted = new ItemTextArena();
+        for (int index = 0; index <= maxIndex; index++) {
+            if (availability[index] != ABSENT) {
+                names[index] = compacted.copy(arena, names[index]);
+                descriptions[index] = compacted.copy(arena, descriptions[index]);
+            }
+        }
+        arena = compacted;
+    }
+
+    private void linkToOwner(int index, int ownerSlot) {
+        ownerSlots[index] = ownerSlot;
+        nextByOwner[index] = firstByOwner[ownerSlot];
+        firstByOwner[ownerSlot] = index;
+    }
+
+    private void unlinkFromOwner(int index) {
+        int slot = ownerSlots[index];
+        if (firstByOwner[slot] == index) {
+            firstByOwner[slot] = nextByOwner[index];
+            return;
+        }
+        int previous = firstByOwner[slot];
+        while (nextByOwner[previous] != index) {
+            previous = nextByOwner[previous];
+        }
+        nextByOwner[previous] = nextByOwner[index];
+    }
+
+    private int ownerSlot(User owner) {
+        int keySlot = findOwnerKey(owner.getId());
+        if (ownerIdKeys[keySlot] != NO_OWNER) {
+            int slot = ownerIdSlots[keySlot];
+            owners[slot] = owner;
+            return slot;
+        }
+        if (ownerCount == owners.length) {
+            owners = Arrays.copyOf(owners, ownerCount * 2);
+            firstByOwner = Arrays.copyOf(firstByOwner, ownerCount * 2);
+        }
+        int slot = ownerCount++;
+        owners[slot] = owner;
+        firstByOwner[slot] = NONE;
+        ownerIdKeys[keySlot] = owner.getId();
+        ownerIdSlots[keySlot] = slot;
+        if (ownerCount * 2 > ownerIdKeys.length) {
+            resizeOwnerIds();
+        }
+        return slot;
+    }
+
+    private int ownerSlotOf(Long ownerId) {
+        if (ownerId == null) {
+            return NONE;
+        }
+        int keySlot = findOwnerKey(ownerId);
+        return ownerIdKeys[keySlot] == NO_OWNER ? NONE : ownerIdSlots[keySlot];
+    }
+
+    private int findOwnerKey(long ownerId) {
+        int mask = ownerIdKeys.length - 1;
+        int slot = (int) ((ownerId ^ (ownerId >>> 32)) * 0x9E3779B97F4A7C15L >>> 40) & mask;
+        while (ownerIdKeys[slot] != NO_OWNER && ownerIdKeys[slot] != ownerId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resizeOwnerIds() {
+        long[] oldKeys = ownerIdKeys;
+        int[] oldSlots = ownerIdSlots;
+        ownerIdKeys = newOwnerIdKeys(oldKeys.length * 2);
+        ownerIdSlots = new int[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != NO_OWNER) {
+                int keySlot = findOwnerKey(oldKeys[i]);
+                ownerIdKeys[keySlot] = oldKeys[i];
+                ownerIdSlots[keySlot] = oldSlots[i];
+            }
+        }
+    }
+
+    private void ensureCapacity(int index) {
+        if (index < availability.length) {
+            return;
+        }
+        int capacity = Math.max(availability.length * 2, index + 1);
+        names = Arrays.copyOf(names, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        ownerSlots = Arrays.copyOf(ownerSlots, capacity);
+        nextByOwner = Arrays.copyOf(nextByOwner, capacity);
+        availability = Arrays.copyOf(availability, capacity);
+    }
+
+    private static long[] newOwnerIdKeys(int capacity) {
+        long[] keys = new long[capacity];
+        Arrays.fill(keys, NO_OWNER);
+        return keys;
+    }
+}
@@ -0,0 +1,68 @@
+package ru.yandex.practicum.ShareIt.item;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+@ConditionalOnProperty(name = "shareit.items.storage", havingValue = "heap", matchIfMissing = true)
+public class HeapItemStorage implements ItemStorage {
+    private final Map<Long, Item> itemIdToItem = new ConcurrentHashMap<>();
+    private final Map<Long, String> itemIdToSearchText = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> ownerIdToItemIds = new ConcurrentHashMap<>();
+
+    @Override
+    public void put(Item item) {
+        Item previous = itemIdToItem.put(item.getId(), item);
+        itemIdToSearchText.put(item.getId(), ItemMapper.toSearchText(item));
+        if (previous != null && !previous.getOwner().getId().equals(item.getOwner().getId())) {
+            ownerIdToItemIds.getOrDefault(previous.getOwner().getId(), Set.of()).remove(item.getId());
+        }
+        ownerIdToItemIds.computeIfAbsent(item.getOwner().getId(), ownerId -> ConcurrentHashMap.newKeySet())
+                .add(item.getId());
+    }
+
+    @Override
+    public void putAll(List<Item> items) {
+        items.parallelStream().forEach(this::put);
+    }
+
+    @Override
+    public Item get(Long itemId) {
+        return itemIdToItem.get(itemId);
+    }
+
+    @Override
+    public boolean contains(Long itemId) {
+        return itemIdToItem.containsKey(itemId);
+    }
+
+    @Override
+    public Stream<Item> findAvailableByText(String lowerText, LongPredicate itemIdFilter) {
+        return itemIdToSearchText.entrySet().stream()
+                .filter(entry -> entry.getValue().contains(lowerText))
+                .map(entry -> itemIdToItem.get(entry.getKey()))
+                .filter(item -> Boolean.TRUE.equals(item.getIsAvailable()) && itemIdFilter.test(item.getId()));
+    }
+
+    @Override
+    public List<Item> findByOwner(Long ownerId) {
+        return ownerIdToItemIds.getOrDefault(ownerId, Set.of()).stream()
+                .map(itemIdToItem::get)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<String> availableNames() {
+        return itemIdToItem.values().stream()
+                .filter(item -> Boolean.TRUE.equals(item.getIsAvailable()))
+                .map(Item::getName);
+    }
+}
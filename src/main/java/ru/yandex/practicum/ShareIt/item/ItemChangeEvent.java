@@ -0,0 +1,12 @@
+package ru.yandex.practicum.ShareIt.item;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ItemChangeEvent {
+    private Long sequence;
+    private ItemChangeType type;
+    private ItemDto item;
+}
@@ -0,0 +1,193 @@
+package ru.yandex.practicum.ShareIt.item;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Лента изменений вещей для SSE-подписчиков.
+ * Последние события хранятся в кольцевом буфере, чтобы клиент мог продолжить с известного номера;
+ * если нужные события уже вытеснены, клиент получает событие RESET и должен перечитать список вещей.
+ * У каждого подписчика своя ограниченная очередь: если клиент не успевает её разбирать, он отключается.
+ * Время одной записи в сокет ограничено таймаутом контейнера (server.tomcat.connection-timeout),
+ * поэтому зависший клиент занимает поток рассылки не дольше этого таймаута.
+ * События публикуются репозиторием под его блокировкой записи, так что порядок номеров
+ * совпадает с порядком изменений.
+ */
+@Component
+public class ItemChangeFeed {
+    private static final int BUFFER_CAPACITY = 4096;
+    private static final int SUBSCRIBER_QUEUE_CAPACITY = 256;
+    private static final int DISPATCH_THREADS = 256;
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    private final Entry[] buffer = new Entry[BUFFER_CAPACITY];
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor dispatcher = new ThreadPoolExecutor(DISPATCH_THREADS, DISPATCH_THREADS,
+            60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+    private long sequence = 0L;
+
+    public ItemChangeFeed() {
+        dispatcher.allowCoreThreadTimeOut(true);
+    }
+
+    public void publish(ItemChangeType type, Item previous, Item item) {
+        ItemDto dto = ItemMapper.toItemDto(item);
+        String searchText = ItemMapper.toSearchText(item);
+        String previousSearchText = previous != null ? ItemMapper.toSearchText(previous) : null;
+        synchronized (buffer) {
+            Entry entry = new Entry(ItemChangeEvent.builder()
+                    .sequence(++sequence)
+                    .type(type)
+                    .item(dto)
+                    .build(), searchText, previousSearchText);
+            buffer[(int) (sequence % BUFFER_CAPACITY)] = entry;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(entry);
+            }
+        }
+    }
+
+    public SseEmitter subscribe(String text, Long fromSequence) {
+        SseEmitter emitter = newEmitter();
+        synchronized (buffer) {
+            List<Entry> replay = replayFrom(fromSequence);
+            Subscriber subscriber = new Subscriber(emitter, text, replay.size() + SUBSCRIBER_QUEUE_CAPACITY);
+            emitter.onCompletion(subscriber::close);
+            emitter.onTimeout(subscriber::close);
+            emitter.onError(e -> subscriber.close());
+            replay.forEach(subscriber::offer);
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(Subscriber::drop);
+        dispatcher.shutdownNow();
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(EMITTER_TIMEOUT_MS);
+    }
+
+    private List<Entry> replayFrom(Long fromSequence) {
+        List<Entry> replay = new ArrayList<>();
+        if (fromSequence == null) {
+            return replay;
+        }
+        long oldest = Math.max(sequence - BUFFER_CAPACITY + 1, 1L);
+        if (fromSequence + 1 < oldest || fromSequence > sequence) {
+            replay.add(new Entry(ItemChangeEvent.builder()
+                    .sequence(sequence)
+                    .type(ItemChangeType.RESET)
+                    .build(), null, null));
+            return replay;
+        }
+        for (long i = fromSequence + 1; i <= sequence; i++) {
+            replay.add(buffer[(int) (i % BUFFER_CAPACITY)]);
+        }
+        return replay;
+    }
+
+    private static class Entry {
+        private final ItemChangeEvent event;
+        private final String searchText;
+        private final String previousSearchText;
+
+        private Entry(ItemChangeEvent event, String searchText, String previousSearchText) {
+            this.event = event;
+            this.searchText = searchText;
+            this.previousSearchText = previousSearchText;
+        }
+    }
+
+    private class Subscriber {
+        private final SseEmitter emitter;
+        private final String text;
+        private final BlockingQueue<Entry> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean dropped = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, String text, int capacity) {
+            this.emitter = emitter;
+            this.text = text == null || text.isBlank() ? null : text.toLowerCase();
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private void offer(Entry entry) {
+            if (dropped.get() || !matches(entry)) {
+                return;
+            }
+            if (!queue.offer(entry)) {
+                drop();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        // Изменение, выводящее вещь из выборки, тоже отправляется: клиент должен узнать, что её больше нет.
+        private boolean matches(Entry entry) {
+            return text == null
+                    || entry.event.getType() == ItemChangeType.RESET
+                    || entry.searchText.contains(text)
+                    || entry.previousSearchText != null && entry.previousSearchText.contains(text);
+        }
+
+        private void drain() {
+            do {
+                Entry entry;
+                while (!dropped.get() && (entry = queue.poll()) != null) {
+                    try {
+                        emitter.send(toSseEvent(entry.event));
+                    } catch (IOException | IllegalStateException e) {
+                        close();
+                    }
+                }
+                draining.set(false);
+            } while (!dropped.get() && !queue.isEmpty() && draining.compareAndSet(false, true));
+            if (dropped.get()) {
+                emitter.complete();
+            }
+        }
+
+        private SseEmitter.SseEventBuilder toSseEvent(ItemChangeEvent event) {
+            return SseEmitter.event()
+                    .id(String.valueOf(event.getSequence()))
+                    .name(event.getType().name())
+                    .data(event.getItem() != null ? event.getItem() : "");
+        }
+
+        private void drop() {
+            if (dropped.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                queue.clear();
+                // Пока идёт рассылка, монитор эмиттера может быть занят записью — его завершит поток рассылки.
+                if (!draining.get()) {
+                    emitter.complete();
+                }
+            }
+        }
+
+        private void close() {
+            dropped.set(true);
+            subscribers.remove(this);
+            queue.clear();
+        }
+    }
+}
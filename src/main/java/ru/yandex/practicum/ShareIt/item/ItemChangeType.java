@@ -0,0 +1,7 @@
+package ru.yandex.practicum.ShareIt.item;
+
+public enum ItemChangeType {
+    CREATED,
+    UPDATED,
+    RESET
+}
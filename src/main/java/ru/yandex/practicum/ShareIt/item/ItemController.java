@@ -3,6 +3,8 @@ package ru.yandex.practicum.ShareIt.item;
 import static ru.yandex.practicum.ShareIt.constants.Constants.USER_ID;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,8 +14,10 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -48,7 +52,26 @@ public class ItemController {
 
     @GetMapping("/search")
     public List<ItemDto> search(@RequestHeader(USER_ID) Long userId,
-                                @RequestParam String text) {
-        return itemService.findByText(userId, text);
+                                @RequestParam String text,
+                                @RequestParam(required = false)
+                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                @RequestParam(required = false)
+                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        return itemService.findByText(userId, text, start, end);
+    }
+
+    @GetMapping("/search/suggest")
+    public List<String> suggest(@RequestHeader(USER_ID) Long userId,
+                                @RequestParam String prefix,
+                                @RequestParam(defaultValue = "10") int size) {
+        return itemService.suggestNames(userId, prefix, size);
+    }
+
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(@RequestHeader(USER_ID) Long userId,
+                              @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                              @RequestParam(required = false) String text,
+                              @RequestParam(required = false) Long from) {
+        return itemService.subscribeToChanges(userId, text, from != null ? from : lastEventId);
     }
 }
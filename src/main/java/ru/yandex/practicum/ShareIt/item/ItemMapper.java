@@ -4,6 +4,8 @@ import ru.yandex.practicum.ShareIt.request.ItemRequest;
 import ru.yandex.practicum.ShareIt.user.User;
 
 public class ItemMapper {
+    private static final char SEARCH_TEXT_SEPARATOR = '\u0000';
+
     public static Item toItem(ItemDto dto, User user, ItemRequest request) {
         return Item.builder()
                 .id(dto.getId())
@@ -23,4 +25,8 @@ public class ItemMapper {
                 .available(item.getIsAvailable())
                 .build();
     }
+
+    public static String toSearchText(Item item) {
+        return (item.getName() + SEARCH_TEXT_SEPARATOR + item.getDescription()).toLowerCase();
+    }
 }
@@ -0,0 +1,303 @@
+package ru.yandex.practicum.ShareIt.item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Сжатое префиксное дерево (radix tree) названий доступных вещей без учёта регистра.
+ * Рёбра хранят строки, а не отдельные символы, дети узла лежат в массиве, отсортированном по первому символу ребра.
+ * Для каждого названия хранится число вещей по каждому написанию; в подсказку попадает самое частое из них.
+ * Подсказки упорядочены по числу вещей, при равенстве — по алфавиту. Каждый узел знает наибольшее число вещей
+ * под собой, поэтому обход идёт от лучших веток и останавливается после нужного количества.
+ * Чтение не блокирует другие чтения, изменения выполняются под блокировкой записи.
+ */
+public class ItemNameTrie {
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Comparator<Candidate> BY_RANK = Comparator.comparingInt((Candidate c) -> -c.count)
+            .thenComparing(c -> c.key)
+            .thenComparing(c -> !c.complete);
+
+    private final Node root = new Node("");
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(String name) {
+        String key = name.toLowerCase();
+        lock.writeLock().lock();
+        try {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            int i = 0;
+            while (i < key.length()) {
+                path.add(node);
+                int index = node.indexOf(key.charAt(i));
+                if (index < 0) {
+                    Node leaf = new Node(key.substring(i));
+                    node.insertChild(-index - 1, leaf);
+                    node = leaf;
+                    break;
+                }
+                Node child = node.children[index];
+                int common = commonPrefixLength(child.edge, key, i);
+                if (common < child.edge.length()) {
+                    child = split(node, index, common);
+                }
+                node = child;
+                i += common;
+            }
+            path.add(node);
+            node.addSpelling(name);
+            updateBest(path);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String name) {
+        String key = name.toLowerCase();
+        lock.writeLock().lock();
+        try {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            int i = 0;
+            while (i < key.length()) {
+                path.add(node);
+                int index = node.indexOf(key.charAt(i));
+                if (index < 0) {
+                    return;
+                }
+                node = node.children[index];
+                if (!key.startsWith(node.edge, i)) {
+                    return;
+                }
+                i += node.edge.length();
+            }
+            if (!node.removeSpelling(name)) {
+                return;
+            }
+            path.add(node);
+            compact(path);
+            updateBest(path);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        String key = prefix.toLowerCase();
+        List<String> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            StringBuilder path = new StringBuilder();
+            int i = 0;
+            while (i < key.length()) {
+                int index = node.indexOf(key.charAt(i));
+                if (index < 0) {
+                    return result;
+                }
+                node = node.children[index];
+                int length = Math.min(node.edge.length(), key.length() - i);
+                if (!key.regionMatches(i, node.edge, 0, length)) {
+                    return result;
+                }
+                path.append(node.edge);
+                i += length;
+            }
+            PriorityQueue<Candidate> candidates = new PriorityQueue<>(BY_RANK);
+            candidates.add(new Candidate(node, path.toString(), node.best, false));
+            while (!candidates.isEmpty() && result.size() < limit) {
+                Candidate candidate = candidates.poll();
+                if (candidate.complete) {
+                    result.add(candidate.node.mostCommonSpelling());
+                    continue;
+                }
+                Node current = candidate.node;
+                if (current.total > 0) {
+                    candidates.add(new Candidate(current, candidate.key, current.total, true));
+                }
+                for (Node child : current.children) {
+                    candidates.add(new Candidate(child, candidate.key + child.edge, child.best, false));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Node split(Node parent, int index, int length) {
+        Node child = parent.children[index];
+        Node middle = new Node(child.edge.substring(0, length));
+        child.edge = child.edge.substring(length);
+        middle.children = new Node[]{child};
+        middle.best = child.best;
+        parent.children[index] = middle;
+        return middle;
+    }
+
+    // После удаления написания убирает опустевший лист и склеивает узлы с единственным ребёнком.
+    private void compact(List<Node> path) {
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node node = path.get(i);
+            Node parent = path.get(i - 1);
+            if (node.total > 0 || node.children.length > 1) {
+                return;
+            }
+            int index = parent.indexOf(node.edge.charAt(0));
+            if (node.children.length == 0) {
+                parent.removeChild(index);
+                path.remove(i);
+                continue;
+            }
+            Node child = node.children[0];
+            child.edge = node.edge + child.edge;
+            parent.children[index] = child;
+            path.set(i, child);
+            return;
+        }
+    }
+
+    private static void updateBest(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            int best = node.total;
+            for (Node child : node.children) {
+                best = Math.max(best, child.best);
+            }
+            node.best = best;
+        }
+    }
+
+    private static int commonPrefixLength(String edge, String key, int from) {
+        int length = Math.min(edge.length(), key.length() - from);
+        int i = 0;
+        while (i < length && edge.charAt(i) == key.charAt(from + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static class Node {
+        private String edge;
+        private Node[] children = NO_CHILDREN;
+        private String[] spellings;
+        private int[] counts;
+        private int total;
+        private int best;
+
+        private Node(String edge) {
+            this.edge = edge;
+        }
+
+        private int indexOf(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char c = children[middle].edge.charAt(0);
+                if (c < first) {
+                    low = middle + 1;
+                } else if (c > first) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -low - 1;
+        }
+
+        private void insertChild(int index, Node child) {
+            Node[] updated = new Node[children.length + 1];
+            System.arraycopy(children, 0, updated, 0, index);
+            updated[index] = child;
+            System.arraycopy(children, index, updated, index + 1, children.length - index);
+            children = updated;
+        }
+
+        private void removeChild(int index) {
+            Node[] updated = new Node[children.length - 1];
+            System.arraycopy(children, 0, updated, 0, index);
+            System.arraycopy(children, index + 1, updated, index, updated.length - index);
+            children = updated.length == 0 ? NO_CHILDREN : updated;
+        }
+
+        private void addSpelling(String name) {
+            total++;
+            if (spellings == null) {
+                spellings = new String[]{name};
+                counts = new int[]{1};
+                return;
+            }
+            for (int i = 0; i < spellings.length; i++) {
+                if (spellings[i].equals(name)) {
+                    counts[i]++;
+                    return;
+                }
+            }
+            spellings = Arrays.copyOf(spellings, spellings.length + 1);
+            counts = Arrays.copyOf(counts, counts.length + 1);
+            spellings[spellings.length - 1] = name;
+            counts[counts.length - 1] = 1;
+        }
+
+        private boolean removeSpelling(String name) {
+            if (spellings == null) {
+                return false;
+            }
+            for (int i = 0; i < spellings.length; i++) {
+                if (!spellings[i].equals(name)) {
+                    continue;
+                }
+                total--;
+                if (--counts[i] > 0) {
+                    return true;
+                }
+                if (spellings.length == 1) {
+                    spellings = null;
+                    counts = null;
+                    return true;
+                }
+                String[] remainingSpellings = new String[spellings.length - 1];
+                int[] remainingCounts = new int[counts.length - 1];
+                System.arraycopy(spellings, 0, remainingSpellings, 0, i);
+                System.arraycopy(spellings, i + 1, remainingSpellings, i, remainingSpellings.length - i);
+                System.arraycopy(counts, 0, remainingCounts, 0, i);
+                System.arraycopy(counts, i + 1, remainingCounts, i, remainingCounts.length - i);
+                spellings = remainingSpellings;
+                counts = remainingCounts;
+                return true;
+            }
+            return false;
+        }
+
+        private String mostCommonSpelling() {
+            int best = 0;
+            for (int i = 1; i < spellings.length; i++) {
+                if (counts[i] > counts[best]
+                        || counts[i] == counts[best] && spellings[i].compareTo(spellings[best]) < 0) {
+                    best = i;
+                }
+            }
+            return spellings[best];
+        }
+    }
+
+    private static class Candidate {
+        private final Node node;
+        private final String key;
+        private final int count;
+        private final boolean complete;
+
+        private Candidate(Node node, String key, int count, boolean complete) {
+            this.node = node;
+            this.key = key;
+            this.count = count;
+            this.complete = complete;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ru.yandex.practicum.ShareIt.item;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRepository {
@@ -11,5 +12,11 @@ public interface ItemRepository {
 
     List<Item> getItems(Long userId);
 
-    List<Item> findByText(Long userId, String text);
+    List<Item> findByText(Long userId, String text, LocalDateTime start, LocalDateTime end);
+
+    List<String> suggestNames(String prefix, int limit);
+
+    List<Item> addItems(List<Item> items);
+
+    void rebuildIndexes();
 }
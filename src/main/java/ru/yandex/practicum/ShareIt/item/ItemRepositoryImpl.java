@@ -1,43 +1,50 @@
 package ru.yandex.practicum.ShareIt.item;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
+import ru.yandex.practicum.ShareIt.booking.BookingRepository;
 import ru.yandex.practicum.ShareIt.exception.EntityNotFoundException;
 import ru.yandex.practicum.ShareIt.item.ItemDto;
 import ru.yandex.practicum.ShareIt.user.User;
 import ru.yandex.practicum.ShareIt.user.UserRepositoryImpl;
 
 import javax.validation.ValidationException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Repository
 @RequiredArgsConstructor
 public class ItemRepositoryImpl implements ItemRepository {
-    private final Map<Long, Item> itemIdToItem = new HashMap<>();
+    private final ItemStorage itemStorage;
+    private volatile ItemNameTrie itemNames = new ItemNameTrie();
     private final UserRepositoryImpl userRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemChangeFeed itemChangeFeed;
     private Long id = 1L;
 
     @Override
-    public Item addNewItem(Long userId, ItemDto dto) {
-        if (dto.getId() != null && itemIdToItem.containsKey(dto.getId())) {
+    public synchronized Item addNewItem(Long userId, ItemDto dto) {
+        if (dto.getId() != null && itemStorage.contains(dto.getId())) {
             throw new ValidationException("Такая вещь уже существует!");
         }
         User user = userRepository.getUserById(userId);
         dto.setId(generateId());
-        itemIdToItem.put(dto.getId(), ItemMapper.toItem(dto, user, null));
-        return itemIdToItem.get(dto.getId());
+        final Item item = ItemMapper.toItem(dto, user, null);
+        itemStorage.put(item);
+        index(null, item);
+        itemChangeFeed.publish(ItemChangeType.CREATED, null, item);
+        return item;
     }
 
     @Override
-    public Item updateItem(Long userId, Long itemId, ItemDto dto) {
-        if (!itemIdToItem.containsKey(itemId) || !Objects.equals(itemIdToItem.get(itemId).getOwner().getId(), userId)) {
+    public synchronized Item updateItem(Long userId, Long itemId, ItemDto dto) {
+        final Item item = itemStorage.get(itemId);
+        if (item == null || !Objects.equals(item.getOwner().getId(), userId)) {
             throw new EntityNotFoundException("Такая вещь не существует!");
         }
-        final Item item = itemIdToItem.get(itemId);
         if (dto.getName() == null) {
             dto.setName(item.getName());
         }
@@ -48,36 +55,67 @@ public class ItemRepositoryImpl implements ItemRepository {
             dto.setAvailable(item.getIsAvailable());
         }
         dto.setId(item.getId());
-        itemIdToItem.put(itemId, ItemMapper.toItem(dto, userRepository.getUserById(userId), null));
-        return itemIdToItem.get(itemId);
+        final Item updated = ItemMapper.toItem(dto, userRepository.getUserById(userId), null);
+        itemStorage.put(updated);
+        index(item, updated);
+        itemChangeFeed.publish(ItemChangeType.UPDATED, item, updated);
+        return updated;
     }
 
     @Override
     public Item getItem(Long userId, Long itemId) {
-        return itemIdToItem.values().stream()
-                .filter(item -> Objects.equals(item.getId(), itemId))
-                .findFirst()
+        return Optional.ofNullable(itemStorage.get(itemId))
                 .orElseThrow(() -> new EntityNotFoundException("Вещь не найдена!"));
     }
 
     @Override
     public List<Item> getItems(Long userId) {
-        return itemIdToItem.values().stream()
-                .filter(item -> item.getOwner().getId().equals(userId))
-                .collect(Collectors.toUnmodifiableList());
+        return List.copyOf(itemStorage.findByOwner(userId));
     }
 
     @Override
-    public List<Item> findByText(Long userId, String text) {
+    public List<Item> findByText(Long userId, String text, LocalDateTime start, LocalDateTime end) {
         if (text.isBlank()) {
             return new ArrayList<>();
         }
-        return itemIdToItem.values().stream()
-                .filter(item -> (item.getDescription().toLowerCase().contains(text.toLowerCase()) ||
-                        item.getName().toLowerCase().contains(text.toLowerCase())) && item.getIsAvailable())
+        return itemStorage.findAvailableByText(text.toLowerCase(),
+                        itemId -> start == null || !bookingRepository.isItemBooked(itemId, start, end))
                 .collect(Collectors.toUnmodifiableList());
     }
 
+    @Override
+    public List<String> suggestNames(String prefix, int limit) {
+        if (prefix.isBlank()) {
+            return new ArrayList<>();
+        }
+        return itemNames.suggest(prefix, limit);
+    }
+
+    @Override
+    public synchronized List<Item> addItems(List<Item> items) {
+        for (Item item : items) {
+            item.setId(generateId());
+        }
+        itemStorage.putAll(items);
+        return items;
+    }
+
+    @Override
+    public synchronized void rebuildIndexes() {
+        ItemNameTrie names = new ItemNameTrie();
+        itemStorage.availableNames().forEach(names::add);
+        itemNames = names;
+    }
+
+    private void index(Item previous, Item item) {
+        if (previous != null && Boolean.TRUE.equals(previous.getIsAvailable())) {
+            itemNames.remove(previous.getName());
+        }
+        if (Boolean.TRUE.equals(item.getIsAvailable())) {
+            itemNames.add(item.getName());
+        }
+    }
+
     private Long generateId() {
         return id++;
     }
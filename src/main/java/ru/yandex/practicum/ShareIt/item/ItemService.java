@@ -1,5 +1,8 @@
 package ru.yandex.practicum.ShareIt.item;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -11,5 +14,9 @@ public interface ItemService {
 
     List<ItemDto> getItems(Long userId);
 
-    List<ItemDto> findByText(Long userId, String text);
+    List<ItemDto> findByText(Long userId, String text, LocalDateTime start, LocalDateTime end);
+
+    List<String> suggestNames(Long userId, String prefix, int size);
+
+    SseEmitter subscribeToChanges(Long userId, String text, Long fromSequence);
 }
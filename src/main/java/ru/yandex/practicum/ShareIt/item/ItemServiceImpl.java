@@ -2,15 +2,20 @@ package ru.yandex.practicum.ShareIt.item;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.yandex.practicum.ShareIt.exception.EntityValidationException;
 
-
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    private static final int MAX_SUGGESTIONS = 20;
+
     private final ItemRepository itemRepository;
+    private final ItemChangeFeed itemChangeFeed;
 
     @Override
     public ItemDto addNewItem(Long userId, ItemDto dto) {
@@ -35,9 +40,28 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public List<ItemDto> findByText(Long userId, String text) {
-        return itemRepository.findByText(userId, text).stream()
+    public List<ItemDto> findByText(Long userId, String text, LocalDateTime start, LocalDateTime end) {
+        if ((start == null) != (end == null)) {
+            throw new EntityValidationException("Необходимо указать и начало, и конец периода!");
+        }
+        if (start != null && !start.isBefore(end)) {
+            throw new EntityValidationException("Начало периода должно быть раньше конца!");
+        }
+        return itemRepository.findByText(userId, text, start, end).stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toUnmodifiableList());
     }
+
+    @Override
+    public List<String> suggestNames(Long userId, String prefix, int size) {
+        if (size <= 0) {
+            throw new EntityValidationException("Количество подсказок должно быть положительным!");
+        }
+        return itemRepository.suggestNames(prefix, Math.min(size, MAX_SUGGESTIONS));
+    }
+
+    @Override
+    public SseEmitter subscribeToChanges(Long userId, String text, Long fromSequence) {
+        return itemChangeFeed.subscribe(text, fromSequence);
+    }
 }
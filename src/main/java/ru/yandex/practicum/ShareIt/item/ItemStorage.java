@@ -0,0 +1,21 @@
+package ru.yandex.practicum.ShareIt.item;
+
+import java.util.List;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
+
+public interface ItemStorage {
+    void put(Item item);
+
+    void putAll(List<Item> items);
+
+    Item get(Long itemId);
+
+    boolean contains(Long itemId);
+
+    Stream<Item> findAvailableByText(String lowerText, LongPredicate itemIdFilter);
+
+    List<Item> findByOwner(Long ownerId);
+
+    Stream<String> availableNames();
+}
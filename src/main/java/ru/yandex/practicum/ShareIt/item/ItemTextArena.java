@@ -0,0 +1,217 @@
+package ru.yandex.practicum.ShareIt.item;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Хранилище строк в UTF-8 вне кучи. Строка адресуется ссылкой (номер блока и смещение),
+ * одинаковые строки хранятся один раз, для каждой считается число ссылок.
+ * Освобождённые строки остаются в блоках до пересборки: {@link #needsCompaction()} сообщает,
+ * что мёртвых байт больше, чем живых, и владелец переносит живые строки в новую арену через {@link #copy}.
+ * Класс не потокобезопасен — доступ синхронизирует владелец.
+ */
+public class ItemTextArena {
+    private static final int CHUNK_SIZE = 1 << 20;
+    private static final int INITIAL_TABLE_CAPACITY = 1 << 10;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private int[] hashes = new int[INITIAL_TABLE_CAPACITY];
+    private long[] refs = new long[INITIAL_TABLE_CAPACITY];
+    private int[] refCounts = new int[INITIAL_TABLE_CAPACITY];
+    private int size;
+    private long liveBytes;
+    private long deadBytes;
+
+    public long put(String value) {
+        return put(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long copy(ItemTextArena source, long ref) {
+        return put(source.bytes(ref));
+    }
+
+    public void release(long ref) {
+        int slot = slotOf(ref);
+        if (--refCounts[slot] == 0) {
+            long length = entryLength(ref);
+            liveBytes -= length;
+            deadBytes += length;
+        }
+    }
+
+    public boolean needsCompaction() {
+        return deadBytes > CHUNK_SIZE && deadBytes > liveBytes;
+    }
+
+    public String get(long ref) {
+        return new String(bytes(ref), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Поиск подстроки без учёта регистра прямо в байтах: символы декодируются из UTF-8 по одному
+     * и сравниваются через {@link Character#toLowerCase(int)}. Образец — уже приведённые к нижнему регистру
+     * кодовые точки, см. {@link #toLowerCodePoints(String)}.
+     */
+    public boolean containsIgnoreCase(long ref, int[] needle) {
+        ByteBuffer chunk = chunks.get(chunkIndex(ref));
+        int start = offset(ref) + Integer.BYTES;
+        int end = start + chunk.getInt(offset(ref));
+        for (int i = start; i < end; i += sequenceLength(chunk.get(i))) {
+            int position = i;
+            int j = 0;
+            while (j < needle.length && position < end
+                    && Character.toLowerCase(decode(chunk, position)) == needle[j]) {
+                position += sequenceLength(chunk.get(position));
+                j++;
+            }
+            if (j == needle.length) {
+                return true;
+            }
+        }
+        return needle.length == 0;
+    }
+
+    public static int[] toLowerCodePoints(String value) {
+        return value.codePoints()
+                .map(Character::toLowerCase)
+                .toArray();
+    }
+
+    private long put(byte[] bytes) {
+        int hash = Arrays.hashCode(bytes);
+        int slot = hash & (refs.length - 1);
+        while (refs[slot] != 0) {
+            if (hashes[slot] == hash && equalsAt(refs[slot] - 1, bytes)) {
+                if (refCounts[slot]++ == 0) {
+                    long length = Integer.BYTES + bytes.length;
+                    deadBytes -= length;
+                    liveBytes += length;
+                }
+                return refs[slot] - 1;
+            }
+            slot = (slot + 1) & (refs.length - 1);
+        }
+        long ref = append(bytes);
+        hashes[slot] = hash;
+        refs[slot] = ref + 1;
+        refCounts[slot] = 1;
+        liveBytes += Integer.BYTES + bytes.length;
+        if (++size * 4 > refs.length * 3) {
+            resize();
+        }
+        return ref;
+    }
+
+    private byte[] bytes(long ref) {
+        ByteBuffer chunk = chunks.get(chunkIndex(ref));
+        int offset = offset(ref);
+        byte[] bytes = new byte[chunk.getInt(offset)];
+        chunk.duplicate().position(offset + Integer.BYTES).get(bytes);
+        return bytes;
+    }
+
+    private long append(byte[] bytes) {
+        int length = Integer.BYTES + bytes.length;
+        ByteBuffer chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        if (chunk == null || chunk.remaining() < length) {
+            chunk = ByteBuffer.allocateDirect(Math.max(CHUNK_SIZE, length));
+            chunks.add(chunk);
+        }
+        long ref = ((long) (chunks.size() - 1) << 32) | chunk.position();
+        chunk.putInt(bytes.length).put(bytes);
+        return ref;
+    }
+
+    private int slotOf(long ref) {
+        ByteBuffer chunk = chunks.get(chunkIndex(ref));
+        int start = offset(ref) + Integer.BYTES;
+        int end = start + chunk.getInt(offset(ref));
+        int hash = 1;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + chunk.get(i);
+        }
+        int slot = hash & (refs.length - 1);
+        while (refs[slot] != ref + 1) {
+            slot = (slot + 1) & (refs.length - 1);
+        }
+        return slot;
+    }
+
+    private long entryLength(long ref) {
+        return Integer.BYTES + chunks.get(chunkIndex(ref)).getInt(offset(ref));
+    }
+
+    private boolean equalsAt(long ref, byte[] bytes) {
+        ByteBuffer chunk = chunks.get(chunkIndex(ref));
+        int offset = offset(ref);
+        if (chunk.getInt(offset) != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (chunk.get(offset + Integer.BYTES + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void resize() {
+        int[] oldHashes = hashes;
+        long[] oldRefs = refs;
+        int[] oldRefCounts = refCounts;
+        hashes = new int[oldRefs.length * 2];
+        refs = new long[oldRefs.length * 2];
+        refCounts = new int[oldRefs.length * 2];
+        for (int i = 0; i < oldRefs.length; i++) {
+            if (oldRefs[i] == 0) {
+                continue;
+            }
+            int slot = oldHashes[i] & (refs.length - 1);
+            while (refs[slot] != 0) {
+                slot = (slot + 1) & (refs.length - 1);
+            }
+            hashes[slot] = oldHashes[i];
+            refs[slot] = oldRefs[i];
+            refCounts[slot] = oldRefCounts[i];
+        }
+    }
+
+    private static int decode(ByteBuffer chunk, int position) {
+        int first = chunk.get(position) & 0xFF;
+        switch (sequenceLength((byte) first)) {
+            case 1:
+                return first;
+            case 2:
+                return (first & 0x1F) << 6 | chunk.get(position + 1) & 0x3F;
+            case 3:
+                return (first & 0x0F) << 12 | (chunk.get(position + 1) & 0x3F) << 6 | chunk.get(position + 2) & 0x3F;
+            default:
+                return (first & 0x07) << 18 | (chunk.get(position + 1) & 0x3F) << 12
+                        | (chunk.get(position + 2) & 0x3F) << 6 | chunk.get(position + 3) & 0x3F;
+        }
+    }
+
+    private static int sequenceLength(byte first) {
+        if ((first & 0x80) == 0) {
+            return 1;
+        }
+        if ((first & 0xE0) == 0xC0) {
+            return 2;
+        }
+        if ((first & 0xF0) == 0xE0) {
+            return 3;
+        }
+        return 4;
+    }
+
+    private static int chunkIndex(long ref) {
+        return (int) (ref >>> 32);
+    }
+
+    private static int offset(long ref) {
+        return (int) ref;
+    }
+}
@@ -5,21 +5,20 @@ import org.springframework.stereotype.Repository;
 import ru.yandex.practicum.ShareIt.exception.EntityNotFoundException;
 
 import javax.validation.ValidationException;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Repository
 @RequiredArgsConstructor
 public class UserRepositoryImpl implements UserRepository {
-    private final Map<Long, User> userIdToUser = new HashMap<>();
-    private final Set<String> userEmail = new HashSet<>();
+    private final Map<Long, User> userIdToUser = new ConcurrentHashMap<>();
+    private final Set<String> userEmail = ConcurrentHashMap.newKeySet();
     private Long id = 1L;
 
     @Override
-    public User addUser(UserDto dto) {
+    public synchronized User addUser(UserDto dto) {
         checkIfEmailAlreadyExists(dto.getEmail());
         dto.setId(generateId());
         if (!userIdToUser.containsKey(dto.getId())) {
@@ -32,7 +31,7 @@ public class UserRepositoryImpl implements UserRepository {
     }
 
     @Override
-    public User updateUser(UserDto dto) {
+    public synchronized User updateUser(UserDto dto) {
         checkIfUserExists(dto.getId());
         checkIfEmailAlreadyExists(dto.getEmail(), dto.getId());
         final User user = getUserById(dto.getId());
@@ -61,7 +60,7 @@ public class UserRepositoryImpl implements UserRepository {
     }
 
     @Override
-    public void deleteUserById(Long id) {
+    public synchronized void deleteUserById(Long id) {
         checkIfUserExists(id);
         User user = userIdToUser.remove(id);
         userEmail.remove(user.getEmail());
@@ -0,0 +1,80 @@
+package ru.yandex.practicum.ShareIt.booking;
+
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.ShareIt.item.Item;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingRepositoryImplTest {
+    private static final LocalDateTime FRIDAY = LocalDateTime.of(2026, 10, 23, 10, 0);
+    private static final LocalDateTime SATURDAY = FRIDAY.plusDays(1);
+    private static final LocalDateTime SUNDAY = FRIDAY.plusDays(2);
+    private static final LocalDateTime MONDAY = FRIDAY.plusDays(3);
+
+    private final BookingRepositoryImpl repository = new BookingRepositoryImpl();
+    private final Item drill = Item.builder().id(1L).build();
+
+    @Test
+    void overlappingBookingMakesItemBooked() {
+        repository.addBooking(booking(SATURDAY, SUNDAY, Status.APPROVED));
+
+        assertTrue(repository.isItemBooked(drill.getId(), FRIDAY, MONDAY));
+        assertTrue(repository.isItemBooked(drill.getId(), FRIDAY, SATURDAY.plusHours(1)));
+        assertTrue(repository.isItemBooked(drill.getId(), SATURDAY.plusHours(1), SATURDAY.plusHours(2)));
+    }
+
+    @Test
+    void adjacentBookingsDoNotOverlap() {
+        repository.addBooking(booking(FRIDAY, SATURDAY, Status.WAITING));
+
+        assertFalse(repository.isItemBooked(drill.getId(), SATURDAY, SUNDAY));
+        assertFalse(repository.isItemBooked(drill.getId(), FRIDAY.minusDays(1), FRIDAY));
+    }
+
+    @Test
+    void longEarlierBookingIsFoundForLaterWindow() {
+        repository.addBooking(booking(FRIDAY.minusDays(30), MONDAY, Status.APPROVED));
+        repository.addBooking(booking(FRIDAY.minusDays(1), FRIDAY.minusHours(1), Status.APPROVED));
+
+        assertTrue(repository.isItemBooked(drill.getId(), SUNDAY, SUNDAY.plusHours(1)));
+    }
+
+    @Test
+    void rejectedAndCanceledBookingsAreIgnored() {
+        repository.addBooking(booking(FRIDAY, MONDAY, Status.REJECTED));
+        repository.addBooking(booking(FRIDAY, MONDAY, Status.CANCELED));
+
+        assertFalse(repository.isItemBooked(drill.getId(), SATURDAY, SUNDAY));
+        assertFalse(repository.isItemBooked(2L, SATURDAY, SUNDAY));
+    }
+
+    @Test
+    void updateOfSameInstanceMovesIndexedInterval() {
+        Booking booking = repository.addBooking(booking(FRIDAY, SATURDAY, Status.WAITING));
+
+        Booking stored = repository.getBooking(booking.getId());
+        stored.setStart(SUNDAY);
+        stored.setEnd(MONDAY);
+        repository.updateBooking(stored);
+
+        assertFalse(repository.isItemBooked(drill.getId(), FRIDAY, SATURDAY));
+        assertTrue(repository.isItemBooked(drill.getId(), SUNDAY, MONDAY));
+
+        stored.setStatus(Status.CANCELED);
+        repository.updateBooking(stored);
+
+        assertFalse(repository.isItemBooked(drill.getId(), SUNDAY, MONDAY));
+    }
+
+    private Booking booking(LocalDateTime start, LocalDateTime end, Status status) {
+        return Booking.builder()
+                .start(start)
+                .end(end)
+                .item(drill)
+                .status(status)
+                .build();
+    }
+}
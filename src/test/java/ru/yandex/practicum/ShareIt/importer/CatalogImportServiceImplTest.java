@@ -0,0 +1,158 @@
+package ru.yandex.practicum.ShareIt.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.ShareIt.booking.BookingRepositoryImpl;
+import ru.yandex.practicum.ShareIt.exception.EntityValidationException;
+import ru.yandex.practicum.ShareIt.item.HeapItemStorage;
+import ru.yandex.practicum.ShareIt.item.Item;
+import ru.yandex.practicum.ShareIt.item.ItemChangeFeed;
+import ru.yandex.practicum.ShareIt.item.ItemRepositoryImpl;
+import ru.yandex.practicum.ShareIt.user.User;
+import ru.yandex.practicum.ShareIt.user.UserDto;
+import ru.yandex.practicum.ShareIt.user.UserRepositoryImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogImportServiceImplTest {
+    private final UserRepositoryImpl userRepository = new UserRepositoryImpl();
+    private final ItemChangeFeed itemChangeFeed = new ItemChangeFeed();
+    private final ItemRepositoryImpl itemRepository = new ItemRepositoryImpl(new HeapItemStorage(),
+            userRepository, new BookingRepositoryImpl(), itemChangeFeed);
+    private final CatalogImportServiceImpl importService =
+            new CatalogImportServiceImpl(userRepository, itemRepository, new ObjectMapper());
+
+    @AfterEach
+    void shutdown() {
+        itemChangeFeed.shutdown();
+    }
+
+    @Test
+    void loadsOwnersAndItemsFromSameBatch() {
+        ImportProgress progress = importService.importCatalog(ndjson(
+                user(7L, "Иван", "ivan@mail.ru"),
+                item("Дрель", "Ударная дрель", 7L),
+                item("Молоток", "Столярный молоток", 7L)));
+
+        User ivan = userRepository.getUserById(1L);
+        assertEquals("Иван", ivan.getName());
+        assertEquals(List.of("Дрель", "Молоток"), names(itemRepository.getItems(ivan.getId())));
+        assertEquals(ImportState.FINISHED, progress.getState());
+        assertEquals(1L, progress.getUsersLoaded());
+        assertEquals(2L, progress.getItemsLoaded());
+        assertEquals(0L, progress.getRejected());
+    }
+
+    @Test
+    void loadsManyBatchesInOrder() {
+        String[] lines = new String[3001];
+        lines[0] = user(1L, "Иван", "ivan@mail.ru");
+        for (int i = 1; i < lines.length; i++) {
+            lines[i] = item("Вещь " + i, "Описание", 1L);
+        }
+
+        ImportProgress progress = importService.importCatalog(ndjson(lines));
+
+        List<Item> items = itemRepository.getItems(1L);
+        assertEquals(3000, items.size());
+        assertEquals(3000L, progress.getItemsLoaded());
+        assertEquals(3001L, progress.getLinesRead());
+        assertEquals(3000, itemRepository.findByText(1L, "вещь", null, null).size());
+        assertEquals(List.of("Вещь 1"), itemRepository.suggestNames("вещь 1", 1));
+    }
+
+    @Test
+    void rejectsMalformedAndUnresolvableLines() {
+        User existing = userRepository.addUser(UserDto.builder().name("Пётр").email("petr@mail.ru").build());
+
+        ImportProgress progress = importService.importCatalog(ndjson(
+                user(1L, "Иван", "ivan@mail.ru"),
+                "{не json",
+                "",
+                user(2L, "Двойник", "petr@mail.ru"),
+                user(3L, "Без почты", null),
+                item("Дрель", "Ударная дрель", 1L),
+                item("Лодка", "Надувная", 2L),
+                item("Палатка", "Трёхместная", 99L),
+                "{\"type\":\"item\",\"name\":\"Пила\",\"description\":\"Ножовка\",\"available\":true,"
+                        + "\"ownerUserId\":" + existing.getId() + "}",
+                "{\"type\":\"item\",\"name\":\"Топор\",\"description\":\"Колун\",\"available\":true,"
+                        + "\"ownerId\":1,\"ownerUserId\":" + existing.getId() + "}",
+                "{\"type\":\"item\",\"name\":\"Шило\",\"description\":\"Сапожное\",\"available\":true,"
+                        + "\"ownerUserId\":404}"));
+
+        assertEquals(ImportState.FINISHED, progress.getState());
+        assertEquals(11L, progress.getLinesRead());
+        assertEquals(1L, progress.getUsersLoaded());
+        assertEquals(2L, progress.getItemsLoaded());
+        assertEquals(7L, progress.getRejected());
+        assertEquals(List.of("Пила"), names(itemRepository.getItems(existing.getId())));
+        assertEquals(List.of("Дрель"), names(itemRepository.getItems(2L)));
+    }
+
+    @Test
+    void indexesItemsLoadedBeforeFailure() {
+        String[] lines = new String[2500];
+        lines[0] = user(1L, "Иван", "ivan@mail.ru");
+        for (int i = 1; i < lines.length; i++) {
+            lines[i] = item("Вещь " + i, "Описание", 1L);
+        }
+        InputStream failing = new SequenceInputStream(ndjson(lines), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                awaitLoaded(1999L);
+                throw new IOException("Соединение разорвано");
+            }
+        });
+
+        assertThrows(EntityValidationException.class, () -> importService.importCatalog(failing));
+
+        ImportProgress progress = importService.getProgress();
+        assertEquals(ImportState.FAILED, progress.getState());
+        assertEquals(1999L, progress.getItemsLoaded());
+        assertEquals(1999, itemRepository.getItems(1L).size());
+        assertEquals(List.of("Вещь 1"), itemRepository.suggestNames("вещь 1", 1));
+    }
+
+    private void awaitLoaded(long items) throws IOException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (importService.getProgress().getItemsLoaded() < items) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IOException("Загрузка не завершилась");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static List<String> names(List<Item> items) {
+        return items.stream()
+                .map(Item::getName)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String user(Long id, String name, String email) {
+        return "{\"type\":\"user\",\"id\":" + id + ",\"name\":\"" + name + "\""
+                + (email != null ? ",\"email\":\"" + email + "\"" : "") + "}";
+    }
+
+    private static String item(String name, String description, Long ownerId) {
+        return "{\"type\":\"item\",\"name\":\"" + name + "\",\"description\":\"" + description
+                + "\",\"available\":true,\"ownerId\":" + ownerId + "}";
+    }
+}
@@ -0,0 +1,186 @@
+package ru.yandex.practicum.ShareIt.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemChangeFeedTest {
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private CountDownLatch sendGate;
+
+    private final ItemChangeFeed feed = new ItemChangeFeed() {
+        @Override
+        SseEmitter newEmitter() {
+            RecordingEmitter emitter = new RecordingEmitter(sendGate);
+            emitters.add(emitter);
+            return emitter;
+        }
+    };
+
+    @AfterEach
+    void shutdown() {
+        feed.shutdown();
+    }
+
+    @Test
+    void deliversPublishedChanges() throws InterruptedException {
+        RecordingEmitter emitter = subscribe(null, null);
+
+        feed.publish(ItemChangeType.CREATED, null, item(1L, "Дрель"));
+        feed.publish(ItemChangeType.UPDATED, item(1L, "Дрель"), item(1L, "Дрель ударная"));
+
+        assertEquals(List.of("1 CREATED Дрель", "2 UPDATED Дрель ударная"), emitter.await(2));
+    }
+
+    @Test
+    void replaysEventsAfterKnownSequence() throws InterruptedException {
+        for (long i = 1; i <= 300; i++) {
+            feed.publish(ItemChangeType.CREATED, null, item(i, "Вещь " + i));
+        }
+
+        RecordingEmitter emitter = subscribe(null, 10L);
+
+        List<String> events = emitter.await(290);
+        assertEquals("11 CREATED Вещь 11", events.get(0));
+        assertEquals("300 CREATED Вещь 300", events.get(289));
+    }
+
+    @Test
+    void sendsResetWhenSequenceLeftBuffer() throws InterruptedException {
+        for (long i = 1; i <= 5000; i++) {
+            feed.publish(ItemChangeType.CREATED, null, item(i, "Вещь " + i));
+        }
+
+        RecordingEmitter emitter = subscribe(null, 1L);
+
+        assertEquals(List.of("5000 RESET "), emitter.await(1));
+    }
+
+    @Test
+    void sendsResetWhenSequenceIsAhead() throws InterruptedException {
+        feed.publish(ItemChangeType.CREATED, null, item(1L, "Дрель"));
+
+        RecordingEmitter emitter = subscribe(null, 42L);
+
+        assertEquals(List.of("1 RESET "), emitter.await(1));
+    }
+
+    @Test
+    void filtersByOldOrNewText() throws InterruptedException {
+        RecordingEmitter emitter = subscribe("ДРЕЛЬ", null);
+
+        feed.publish(ItemChangeType.CREATED, null, item(1L, "Молоток"));
+        feed.publish(ItemChangeType.CREATED, null, item(2L, "Дрель"));
+        feed.publish(ItemChangeType.UPDATED, item(2L, "Дрель"), item(2L, "Шуруповёрт"));
+        feed.publish(ItemChangeType.UPDATED, item(1L, "Молоток"), item(1L, "Кувалда"));
+
+        assertEquals(List.of("2 CREATED Дрель", "3 UPDATED Шуруповёрт"), emitter.await(2));
+        assertTrue(emitter.awaitNothingMore());
+    }
+
+    @Test
+    void dropsSubscriberWithFullQueue() throws InterruptedException {
+        RecordingEmitter healthy = subscribe(null, null);
+        sendGate = new CountDownLatch(1);
+        RecordingEmitter stalled = subscribe(null, null);
+
+        for (int i = 1; i <= 300; i++) {
+            feed.publish(ItemChangeType.CREATED, null, item((long) i, "Вещь " + i));
+            assertEquals(i, healthy.await(i).size());
+        }
+        sendGate.countDown();
+
+        assertTrue(stalled.completed.await(5, TimeUnit.SECONDS));
+        assertTrue(stalled.events().size() < 300);
+        feed.publish(ItemChangeType.CREATED, null, item(301L, "Вещь 301"));
+        assertEquals(301, healthy.await(301).size());
+    }
+
+    private RecordingEmitter subscribe(String text, Long from) {
+        feed.subscribe(text, from);
+        return emitters.get(emitters.size() - 1);
+    }
+
+    private static Item item(Long id, String name) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description("Описание")
+                .isAvailable(true)
+                .build();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private static final Pattern EVENT = Pattern.compile("id:(\\d+)\nevent:(\\w+)\ndata:(.*)\n\n");
+
+        private final List<String> events = new ArrayList<>();
+        private final CountDownLatch sendGate;
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        private RecordingEmitter(CountDownLatch sendGate) {
+            this.sendGate = sendGate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws InterruptedIOException {
+            if (sendGate != null) {
+                try {
+                    sendGate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+            StringBuilder raw = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                Object data = part.getData();
+                raw.append(data instanceof ItemDto ? ((ItemDto) data).getName() : data);
+            }
+            Matcher matcher = EVENT.matcher(raw);
+            assertTrue(matcher.matches(), raw.toString());
+            synchronized (events) {
+                events.add(matcher.group(1) + " " + matcher.group(2) + " " + matcher.group(3));
+                events.notifyAll();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        private List<String> events() {
+            synchronized (events) {
+                return new ArrayList<>(events);
+            }
+        }
+
+        private List<String> await(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            synchronized (events) {
+                while (events.size() < count && System.currentTimeMillis() < deadline) {
+                    events.wait(100);
+                }
+                return new ArrayList<>(events);
+            }
+        }
+
+        private boolean awaitNothingMore() throws InterruptedException {
+            int seen = events().size();
+            Thread.sleep(200);
+            return events().size() == seen;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package ru.yandex.practicum.ShareIt.item;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemNameTrieTest {
+    private final ItemNameTrie trie = new ItemNameTrie();
+
+    @Test
+    void suggestOrdersEqualCountsAlphabeticallyIgnoringCase() {
+        trie.add("Дрель ударная");
+        trie.add("Диван");
+        trie.add("дрель");
+        trie.add("Шуруповёрт");
+
+        assertEquals(List.of("дрель", "Дрель ударная"), trie.suggest("ДР", 10));
+        assertEquals(List.of("Диван", "дрель", "Дрель ударная"), trie.suggest("д", 10));
+        assertTrue(trie.suggest("пила", 10).isEmpty());
+    }
+
+    @Test
+    void suggestStopsAtLimit() {
+        trie.add("Дрель");
+        trie.add("Диван");
+        trie.add("Доска");
+
+        assertEquals(List.of("Диван", "Доска"), trie.suggest("д", 2));
+    }
+
+    @Test
+    void suggestRanksNamesByItemCount() {
+        trie.add("Дрель");
+        trie.add("Диван");
+        trie.add("Диван");
+        trie.add("Доска");
+        trie.add("Доска");
+        trie.add("Доска");
+
+        assertEquals(List.of("Доска", "Диван"), trie.suggest("д", 2));
+        assertEquals(List.of("Доска", "Диван", "Дрель"), trie.suggest("д", 10));
+    }
+
+    @Test
+    void suggestReturnsMostCommonSpelling() {
+        trie.add("drill");
+        trie.add("Drill");
+        trie.add("Drill");
+        trie.add("DRILL");
+
+        assertEquals(List.of("Drill"), trie.suggest("dr", 10));
+
+        trie.remove("Drill");
+        assertEquals(List.of("DRILL"), trie.suggest("dr", 10));
+    }
+
+    @Test
+    void suggestMatchesPrefixEndingInsideEdge() {
+        trie.add("Палатка");
+        trie.add("Пила");
+
+        assertEquals(List.of("Палатка"), trie.suggest("пала", 10));
+        assertEquals(List.of("Палатка", "Пила"), trie.suggest("п", 10));
+        assertTrue(trie.suggest("палатки", 10).isEmpty());
+        assertTrue(trie.suggest("палатка большая", 10).isEmpty());
+    }
+
+    @Test
+    void removeMergesNodesBack() {
+        trie.add("Палатка");
+        trie.add("Палас");
+        trie.add("Пал");
+
+        trie.remove("Пал");
+        trie.remove("Палас");
+
+        assertEquals(List.of("Палатка"), trie.suggest("пал", 10));
+        trie.add("Палас");
+        assertEquals(List.of("Палас", "Палатка"), trie.suggest("па", 10));
+    }
+
+    @Test
+    void removeKeepsNameWhileOtherItemsStillUseIt() {
+        trie.add("Дрель");
+        trie.add("Дрель");
+        trie.add("Дрель Bosch");
+
+        trie.remove("Дрель");
+        assertEquals(List.of("Дрель", "Дрель Bosch"), trie.suggest("др", 10));
+
+        trie.remove("Дрель");
+        assertEquals(List.of("Дрель Bosch"), trie.suggest("др", 10));
+
+        trie.remove("Дрель Bosch");
+        assertTrue(trie.suggest("д", 10).isEmpty());
+    }
+
+    @Test
+    void removeDropsSpellingThatNoItemHasAnymore() {
+        trie.add("Drill");
+        trie.add("DRILL");
+
+        trie.remove("DRILL");
+        assertEquals(List.of("Drill"), trie.suggest("dr", 10));
+
+        trie.remove("Drill");
+        trie.add("DRILL");
+        assertEquals(List.of("DRILL"), trie.suggest("dr", 10));
+    }
+
+    @Test
+    void removeOfUnknownNameIsIgnored() {
+        trie.add("Дрель");
+
+        trie.remove("Дрель Bosch");
+        trie.remove("Др");
+
+        assertEquals(List.of("Дрель"), trie.suggest("д", 10));
+    }
+
+    @Test
+    void suggestHandlesVeryLongNames() {
+        String name = "а".repeat(100_000);
+        trie.add(name);
+
+        assertEquals(List.of(name), trie.suggest("а", 10));
+    }
+}
@@ -0,0 +1,98 @@
+package ru.yandex.practicum.ShareIt.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import ru.yandex.practicum.ShareIt.booking.Booking;
+import ru.yandex.practicum.ShareIt.booking.BookingRepositoryImpl;
+import ru.yandex.practicum.ShareIt.booking.Status;
+import ru.yandex.practicum.ShareIt.user.User;
+import ru.yandex.practicum.ShareIt.user.UserDto;
+import ru.yandex.practicum.ShareIt.user.UserRepositoryImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemRepositoryImplTest {
+    private static final LocalDateTime FRIDAY = LocalDateTime.of(2026, 10, 23, 10, 0);
+    private static final LocalDateTime SATURDAY = FRIDAY.plusDays(1);
+    private static final LocalDateTime SUNDAY = FRIDAY.plusDays(2);
+
+    private final UserRepositoryImpl userRepository = new UserRepositoryImpl();
+    private final BookingRepositoryImpl bookingRepository = new BookingRepositoryImpl();
+    private final ItemChangeFeed itemChangeFeed = new ItemChangeFeed();
+
+    static Stream<Supplier<ItemStorage>> storages() {
+        return Stream.of(HeapItemStorage::new, CompactItemStorage::new);
+    }
+
+    @AfterEach
+    void shutdown() {
+        itemChangeFeed.shutdown();
+    }
+
+    @ParameterizedTest
+    @MethodSource("storages")
+    void findByTextSkipsItemsBookedInWindow(Supplier<ItemStorage> storage) {
+        ItemRepositoryImpl repository = new ItemRepositoryImpl(storage.get(), userRepository, bookingRepository,
+                itemChangeFeed);
+        User owner = userRepository.addUser(UserDto.builder().name("Иван").email("ivan@mail.ru").build());
+        Item bosch = repository.addNewItem(owner.getId(), item("Дрель Bosch"));
+        repository.addNewItem(owner.getId(), item("Дрель Makita"));
+        bookingRepository.addBooking(Booking.builder()
+                .start(FRIDAY)
+                .end(SATURDAY)
+                .item(bosch)
+                .status(Status.APPROVED)
+                .build());
+
+        assertEquals(List.of("Дрель Makita"), names(repository.findByText(owner.getId(), "ДРЕЛЬ", FRIDAY, SATURDAY)));
+        assertEquals(List.of("Дрель Bosch", "Дрель Makita"),
+                names(repository.findByText(owner.getId(), "дрель", SATURDAY, SUNDAY)));
+        assertEquals(List.of("Дрель Bosch", "Дрель Makita"),
+                names(repository.findByText(owner.getId(), "дрель", null, null)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("storages")
+    void updatesReplaceSearchableTextsAndKeepOwnerItems(Supplier<ItemStorage> storage) {
+        ItemRepositoryImpl repository = new ItemRepositoryImpl(storage.get(), userRepository, bookingRepository,
+                itemChangeFeed);
+        User ivan = userRepository.addUser(UserDto.builder().name("Иван").email("ivan@mail.ru").build());
+        User petr = userRepository.addUser(UserDto.builder().name("Пётр").email("petr@mail.ru").build());
+        Item drill = repository.addNewItem(ivan.getId(), item("Дрель"));
+        repository.addNewItem(petr.getId(), item("Пила"));
+
+        for (int i = 0; i < 3000; i++) {
+            repository.updateItem(ivan.getId(), drill.getId(), ItemDto.builder()
+                    .description("Версия " + i + " " + "x".repeat(1000))
+                    .build());
+        }
+
+        assertEquals(List.of("Дрель"), names(repository.getItems(ivan.getId())));
+        assertEquals(List.of("Пила"), names(repository.getItems(petr.getId())));
+        assertEquals(List.of("Дрель"), names(repository.findByText(ivan.getId(), "ВЕРСИЯ 2999", null, null)));
+        assertEquals(List.of(), names(repository.findByText(ivan.getId(), "версия 1 ", null, null)));
+        assertEquals(List.of("Пила"), names(repository.findByText(ivan.getId(), "аккумуляторная", null, null)));
+    }
+
+    private static ItemDto item(String name) {
+        return ItemDto.builder()
+                .name(name)
+                .description("Аккумуляторная")
+                .available(true)
+                .build();
+    }
+
+    private static List<String> names(List<Item> items) {
+        return items.stream()
+                .map(Item::getName)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+}
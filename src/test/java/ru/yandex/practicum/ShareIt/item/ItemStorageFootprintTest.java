@@ -0,0 +1,122 @@
+package ru.yandex.practicum.ShareIt.item;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.ShareIt.booking.BookingRepositoryImpl;
+import ru.yandex.practicum.ShareIt.user.User;
+import ru.yandex.practicum.ShareIt.user.UserDto;
+import ru.yandex.practicum.ShareIt.user.UserRepositoryImpl;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Замер памяти репозитория вещей целиком (хранилище, индекс по владельцу, дерево названий) в обоих режимах.
+ * Медленный и зависит от сборщика мусора, поэтому исключён из обычной сборки: mvn -B test -Pbenchmark.
+ */
+@Tag("benchmark")
+class ItemStorageFootprintTest {
+    private static final int ITEMS = 200_000;
+    private static final int OWNERS = 1_000;
+    private static final int BATCH_SIZE = 1_000;
+    private static final String[] NAMES = {"Дрель", "Перфоратор", "Лестница", "Палатка", "Велосипед",
+        "Шуруповёрт", "Болгарка", "Надувная лодка", "Проектор", "Самокат"};
+    private static final String[] TEMPLATES = {
+        "Почти новая, в комплекте кейс и набор свёрл. Самовывоз от метро.",
+        "Использовалась пару раз, все насадки на месте, инструкция прилагается.",
+        "Б/у, есть следы использования, работает исправно. Залог по договорённости.",
+        "Хорошее состояние, подходит для дачи и ремонта квартиры. Верну залог сразу."
+    };
+
+    private final UserRepositoryImpl userRepository = new UserRepositoryImpl();
+    private final User[] owners = new User[OWNERS];
+
+    ItemStorageFootprintTest() {
+        for (int i = 0; i < OWNERS; i++) {
+            owners[i] = userRepository.addUser(UserDto.builder()
+                    .name("user" + i)
+                    .email("user" + i + "@mail.ru")
+                    .build());
+        }
+    }
+
+    @Test
+    void compactRepositoryUsesLessHeapPerItem() {
+        Footprint heap = measure(HeapItemStorage::new);
+        Footprint compact = measure(CompactItemStorage::new);
+
+        System.out.printf("Репозиторий с %d вещами: heap — %d Б кучи на вещь; compact — %d Б кучи и %d Б вне кучи "
+                + "на вещь%n", ITEMS, heap.heapPerItem, compact.heapPerItem, compact.directPerItem);
+        assertTrue(compact.heapPerItem * 2 < heap.heapPerItem);
+    }
+
+    private Footprint measure(Supplier<ItemStorage> storage) {
+        ItemChangeFeed itemChangeFeed = new ItemChangeFeed();
+        long heapBefore = usedHeap();
+        long directBefore = usedDirect();
+        ItemRepositoryImpl repository = new ItemRepositoryImpl(storage.get(), userRepository,
+                new BookingRepositoryImpl(), itemChangeFeed);
+        List<Item> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= ITEMS; i++) {
+            batch.add(item(i));
+            if (batch.size() == BATCH_SIZE) {
+                repository.addItems(batch);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        repository.rebuildIndexes();
+        long heapAfter = usedHeap();
+        long directAfter = usedDirect();
+        assertEquals(ITEMS / OWNERS, repository.getItems(owners[0].getId()).size());
+        itemChangeFeed.shutdown();
+        return new Footprint((heapAfter - heapBefore) / ITEMS, (directAfter - directBefore) / ITEMS);
+    }
+
+    private Item item(int id) {
+        String description = id % 2 == 0
+                ? TEMPLATES[id % TEMPLATES.length]
+                : "Вещь №" + id + ": " + TEMPLATES[id % TEMPLATES.length].toLowerCase();
+        return Item.builder()
+                .name(new String(NAMES[id % NAMES.length]))
+                .description(new String(description))
+                .owner(owners[id % OWNERS])
+                .isAvailable(id % 3 != 0)
+                .build();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long usedDirect() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+
+    private static class Footprint {
+        private final long heapPerItem;
+        private final long directPerItem;
+
+        private Footprint(long heapPerItem, long directPerItem) {
+            this.heapPerItem = heapPerItem;
+            this.directPerItem = directPerItem;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package ru.yandex.practicum.ShareIt.item;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemTextArenaTest {
+    private final ItemTextArena arena = new ItemTextArena();
+
+    @Test
+    void putReturnsSameRefForEqualStrings() {
+        long first = arena.put("Дрель ударная");
+        long other = arena.put("Дрель");
+        long second = arena.put(new String("Дрель ударная"));
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+        assertEquals("Дрель ударная", arena.get(first));
+        assertEquals("Дрель", arena.get(other));
+    }
+
+    @Test
+    void dedupSurvivesTableResize() {
+        long[] refs = new long[10_000];
+        for (int i = 0; i < refs.length; i++) {
+            refs[i] = arena.put("вещь " + i);
+        }
+
+        for (int i = 0; i < refs.length; i++) {
+            assertEquals(refs[i], arena.put("вещь " + i));
+            assertEquals("вещь " + i, arena.get(refs[i]));
+        }
+    }
+
+    @Test
+    void stringsCrossingChunkBoundaryAreReadBack() {
+        String filler = "x".repeat((1 << 20) - 100);
+        String crossing = "я".repeat(100);
+        String large = "б".repeat(1 << 20);
+
+        long fillerRef = arena.put(filler);
+        long crossingRef = arena.put(crossing);
+        long largeRef = arena.put(large);
+
+        assertEquals(filler, arena.get(fillerRef));
+        assertEquals(crossing, arena.get(crossingRef));
+        assertEquals(large, arena.get(largeRef));
+        assertNotEquals(fillerRef >>> 32, crossingRef >>> 32);
+        assertTrue(arena.containsIgnoreCase(largeRef, lower("ББ")));
+    }
+
+    @Test
+    void containsIgnoreCaseMatchesMultiByteUtf8() {
+        long ref = arena.put("Дрель УДАРНАЯ 750 Вт для бетона \uD83D\uDD28");
+
+        assertTrue(arena.containsIgnoreCase(ref, lower("ударная")));
+        assertTrue(arena.containsIgnoreCase(ref, lower("дрель")));
+        assertTrue(arena.containsIgnoreCase(ref, lower("БЕТОНА")));
+        assertTrue(arena.containsIgnoreCase(ref, lower("750 вт")));
+        assertTrue(arena.containsIgnoreCase(ref, lower("бетона \uD83D\uDD28")));
+        assertFalse(arena.containsIgnoreCase(ref, lower("перфоратор")));
+        assertFalse(arena.containsIgnoreCase(ref, lower("\uD83D\uDD28 ")));
+    }
+
+    @Test
+    void emptyStringIsStored() {
+        long ref = arena.put("");
+
+        assertEquals("", arena.get(ref));
+        assertTrue(arena.containsIgnoreCase(ref, lower("")));
+        assertFalse(arena.containsIgnoreCase(ref, lower("а")));
+    }
+
+    @Test
+    void releasedStringIsRevivedByPut() {
+        long ref = arena.put("Дрель");
+        arena.put("Дрель");
+
+        arena.release(ref);
+        arena.release(ref);
+
+        assertEquals(ref, arena.put("Дрель"));
+        assertEquals("Дрель", arena.get(ref));
+    }
+
+    @Test
+    void needsCompactionOnceDeadBytesOutweighLiveOnes() {
+        long live = arena.put("живая строка");
+        String large = "x".repeat(1 << 20);
+        long first = arena.put(large + 1);
+        long second = arena.put(large + 2);
+
+        arena.release(first);
+        assertFalse(arena.needsCompaction());
+        arena.release(second);
+        assertTrue(arena.needsCompaction());
+
+        ItemTextArena compacted = new ItemTextArena();
+        long moved = compacted.copy(arena, live);
+        assertEquals("живая строка", compacted.get(moved));
+        assertFalse(compacted.needsCompaction());
+    }
+
+    private static int[] lower(String value) {
+        return ItemTextArena.toLowerCodePoints(value);
+    }
+}